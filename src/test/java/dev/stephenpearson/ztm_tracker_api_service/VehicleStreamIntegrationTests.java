@@ -0,0 +1,168 @@
+package dev.stephenpearson.ztm_tracker_api_service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.google.protobuf.util.JsonFormat;
+
+import dev.stephenpearson.ztm_api.protobuf.VehicleLocationOuterClass.VehicleLocation;
+import dev.stephenpearson.ztm_api.protobuf.VehicleLocationOuterClass.VehicleLocationList;
+import dev.stephenpearson.ztm_tracker_api_service.support.RedisStandIn;
+import dev.stephenpearson.ztm_tracker_api_service.support.SyntheticFleet;
+import reactor.test.StepVerifier;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext
+class VehicleStreamIntegrationTests {
+
+    private static final int BUSES = 60;
+    private static final int TRAMS = 30;
+
+    private static final RedisStandIn redis = RedisStandIn.start();
+    private static final SyntheticFleet fleet = new SyntheticFleet(redis, BUSES, TRAMS, 42L);
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.url", redis::getUrl);
+    }
+
+    //seeded before the context starts so the poller's first run picks it up
+    @BeforeAll
+    static void seedFleet() {
+        fleet.tick();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        fleet.close();
+        redis.close();
+    }
+
+    //the poller runs asynchronously on startup so wait for it to fill the cache
+    @BeforeEach
+    void awaitFirstPoll() {
+        await().atMost(Duration.ofSeconds(15))
+               .untilAsserted(() -> assertThat(pollFleet()).isNotEmpty());
+    }
+
+    @Test
+    void pollingReturnsWholeFleetAsProtobuf() throws Exception {
+        assertThat(pollFleet())
+            .hasSize(BUSES + TRAMS)
+            .extracting(VehicleLocation::getType)
+            .containsOnly("buses", "trams");
+    }
+
+    @Test
+    void lineEndpointReturnsOnlyThatLineAsJson() throws Exception {
+        String line = fleet.getBusLines().get(0);
+
+        String json = webTestClient.get()
+                .uri(uri -> uri.path("/api/lines/{line}").queryParam("type", "buses").build(line))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        VehicleLocationList.Builder list = VehicleLocationList.newBuilder();
+        JsonFormat.parser().merge(json, list);
+
+        assertThat(list.getVehiclesList())
+            .isNotEmpty()
+            .allSatisfy(v -> {
+                assertThat(v.getLine()).isEqualTo(line);
+                assertThat(v.getType()).isEqualTo("buses");
+            });
+    }
+
+    @Test
+    void unknownLineIsRejected() {
+        webTestClient.get()
+                .uri("/api/lines/{line}", "N99")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void sseStreamsFleetAsBase64Protobuf() {
+        StepVerifier.create(webTestClient.get()
+                        .uri("/api/sse/vehicles?type=trams")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .exchange()
+                        .expectStatus().isOk()
+                        .returnResult(new ParameterizedTypeReference<ServerSentEvent<String>>() {})
+                        .getResponseBody())
+                    .assertNext(event -> {
+                        assertThat(event.event()).isEqualTo("vehicles");
+                        assertThat(decode(event.data()).getVehiclesList())
+                            .hasSize(TRAMS)
+                            .allSatisfy(v -> assertThat(v.getType()).isEqualTo("trams"));
+                    })
+                    .thenCancel()
+                    .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void pollingFollowsFleetMovement() throws Exception {
+        Map<String, Double> latBefore = pollFleet().stream()
+                .collect(Collectors.toMap(VehicleLocation::getVehicleNumber, VehicleLocation::getLat));
+
+        long timestamp = fleet.tick();
+
+        await().atMost(Duration.ofSeconds(15))
+               .untilAsserted(() -> assertThat(pollFleet())
+                   .extracting(VehicleLocation::getTimestamp)
+                   .containsOnly(timestamp));
+
+        assertThat(pollFleet())
+            .allSatisfy(v -> assertThat(v.getPrevPosition().getLat()).isEqualTo(latBefore.get(v.getVehicleNumber())))
+            .anySatisfy(v -> assertThat(v.getLat()).isNotEqualTo(latBefore.get(v.getVehicleNumber())));
+    }
+
+    private List<VehicleLocation> pollFleet() throws Exception {
+        byte[] body = webTestClient.get()
+                .uri("/api/vehicles")
+                .accept(MediaType.APPLICATION_OCTET_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        return VehicleLocationList.parseFrom(body).getVehiclesList();
+    }
+
+    private static VehicleLocationList decode(String base64) {
+        try {
+            return VehicleLocationList.parseFrom(Base64.getDecoder().decode(base64));
+        } catch (Exception e) {
+            throw new AssertionError("SSE payload is not a protobuf VehicleLocationList", e);
+        }
+    }
+}
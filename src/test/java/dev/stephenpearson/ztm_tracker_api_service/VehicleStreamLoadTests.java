@@ -0,0 +1,252 @@
+package dev.stephenpearson.ztm_tracker_api_service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+
+import dev.stephenpearson.ztm_api.protobuf.VehicleLocationOuterClass.VehicleLocation;
+import dev.stephenpearson.ztm_api.protobuf.VehicleLocationOuterClass.VehicleLocationList;
+import dev.stephenpearson.ztm_tracker_api_service.support.HarnessConfig;
+import dev.stephenpearson.ztm_tracker_api_service.support.JvmMonitor;
+import dev.stephenpearson.ztm_tracker_api_service.support.LatencyRecorder;
+import dev.stephenpearson.ztm_tracker_api_service.support.LoadMetrics;
+import dev.stephenpearson.ztm_tracker_api_service.support.RecordingVehicleCache;
+import dev.stephenpearson.ztm_tracker_api_service.support.RedisStandIn;
+import dev.stephenpearson.ztm_tracker_api_service.support.SyntheticFleet;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Drives concurrent SSE and polling clients against the full app backed by a {@link RedisStandIn}
+ * and a moving {@link SyntheticFleet}. Excluded from the default build - run with
+ * {@code ./mvnw test -Pload-test}, tuning the {@code loadtest.*} system properties below.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(HarnessConfig.class)
+@DirtiesContext
+class VehicleStreamLoadTests {
+    private static final Logger log = LoggerFactory.getLogger(VehicleStreamLoadTests.class);
+
+    private static final int SSE_CLIENTS = Integer.getInteger("loadtest.sseClients", 2_000);
+    private static final int POLL_CLIENTS = Integer.getInteger("loadtest.pollClients", 500);
+    private static final int BUSES = Integer.getInteger("loadtest.buses", 1_500);
+    private static final int TRAMS = Integer.getInteger("loadtest.trams", 500);
+    private static final Duration DURATION = duration("loadtest.duration", "PT60S");
+    private static final Duration RAMP_UP = duration("loadtest.rampUp", "PT10S");
+    private static final Duration POLL_INTERVAL = duration("loadtest.pollInterval", "PT2S");
+    private static final Duration FLEET_TICK = duration("loadtest.fleetTick", "PT5S");
+    //optional regression gate, e.g. -Dloadtest.maxP99=PT15S
+    private static final String MAX_P99 = System.getProperty("loadtest.maxP99");
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private static final RedisStandIn redis = RedisStandIn.start();
+    private static final SyntheticFleet fleet = new SyntheticFleet(redis, BUSES, TRAMS, 7L);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RecordingVehicleCache cache;
+
+    private final Map<String, String> lineTypes = new LinkedHashMap<>();
+    private List<String> lines;
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.url", redis::getUrl);
+    }
+
+    @BeforeAll
+    static void startFleet() {
+        fleet.start(FLEET_TICK);
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        fleet.close();
+        redis.close();
+    }
+
+    @Test
+    void sustainsConcurrentSseAndPollingClients() {
+        await().atMost(Duration.ofSeconds(30)).until(() -> cache.getUpdateCount() > 0);
+
+        fleet.getBusLines().forEach(line -> lineTypes.put(line, "buses"));
+        fleet.getTramLines().forEach(line -> lineTypes.put(line, "trams"));
+        lines = List.copyOf(lineTypes.keySet());
+
+        ConnectionProvider provider = ConnectionProvider.builder("load-test-clients")
+                .maxConnections(SSE_CLIENTS + POLL_CLIENTS)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        LoopResources loops = LoopResources.create("load-test-client",
+                                                   Runtime.getRuntime().availableProcessors(), true);
+        WebClient client = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(provider).runOn(loops)))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
+                .build();
+
+        LoadMetrics metrics = new LoadMetrics();
+        log.info("Load test: {} sse clients, {} polling clients, {} vehicles, {} ramp-up, {} duration",
+                 SSE_CLIENTS, POLL_CLIENTS, fleet.size(), RAMP_UP, DURATION);
+
+        try (JvmMonitor jvm = JvmMonitor.start(Duration.ofMillis(250))) {
+            long started = System.nanoTime();
+
+            Flux.merge(Flux.range(0, SSE_CLIENTS).flatMap(i -> sseClient(client, i, metrics), SSE_CLIENTS),
+                       Flux.range(0, POLL_CLIENTS).flatMap(i -> pollingClient(client, i, metrics), POLL_CLIENTS))
+                .take(RAMP_UP.plus(DURATION))
+                .blockLast();
+
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+            log.info("Load test report ({} redis commands served, {} cache updates){}{}{}{}",
+                     redis.getCommandCount(), cache.getUpdateCount(),
+                     System.lineSeparator(), metrics.summary(elapsed),
+                     System.lineSeparator(), jvm.summary());
+        } finally {
+            provider.disposeLater().block(Duration.ofSeconds(10));
+            loops.disposeLater().block(Duration.ofSeconds(10));
+        }
+
+        assertThat(metrics.getErrors())
+            .as("client errors, first was: %s", metrics.getFirstError())
+            .isZero();
+        assertThat(metrics.getSseEvents()).isGreaterThanOrEqualTo(SSE_CLIENTS);
+        assertThat(metrics.getPolls()).isGreaterThanOrEqualTo(POLL_CLIENTS);
+
+        if (MAX_P99 != null) {
+            Duration maxP99 = Duration.parse(MAX_P99);
+            assertThat(metrics.getSseLatency().summary().p99()).isLessThanOrEqualTo(maxP99);
+            assertThat(metrics.getPollLatency().summary().p99()).isLessThanOrEqualTo(maxP99);
+        }
+    }
+
+    //every 10th client follows the whole fleet, the rest follow a single line like the frontend does
+    private Mono<Void> sseClient(WebClient client, int i, LoadMetrics metrics) {
+        String uri = i % 10 == 0 ? "/api/sse/vehicles" : lineUri(i, "/sse");
+        AtomicLong newestSeen = new AtomicLong();
+
+        return Mono.delay(rampUpOffset(i, SSE_CLIENTS))
+                   .thenMany(client.get()
+                                   .uri(uri)
+                                   .accept(MediaType.TEXT_EVENT_STREAM)
+                                   .retrieve()
+                                   .bodyToFlux(SSE_TYPE)
+                                   .doOnSubscribe(s -> metrics.sseStreamOpened()))
+                   .doOnNext(event -> {
+                       if (!"vehicles".equals(event.event())) {
+                           metrics.sseWarning();
+                           return;
+                       }
+                       byte[] payload = Base64.getDecoder().decode(event.data());
+                       metrics.sseEvent(payload.length);
+                       recordFreshness(payload, newestSeen, metrics.getSseLatency(), metrics);
+                   })
+                   .onErrorResume(e -> {
+                       metrics.error(e);
+                       return Mono.empty();
+                   })
+                   .then();
+    }
+
+    private Mono<Void> pollingClient(WebClient client, int i, LoadMetrics metrics) {
+        String uri = i % 10 == 0 ? "/api/vehicles" : lineUri(i, "");
+        AtomicLong newestSeen = new AtomicLong();
+
+        return Flux.interval(rampUpOffset(i, POLL_CLIENTS), POLL_INTERVAL)
+                   .onBackpressureDrop()
+                   .concatMap(tick -> Mono.defer(() -> {
+                       long requested = System.nanoTime();
+                       return client.get()
+                                    .uri(uri)
+                                    .accept(MediaType.APPLICATION_OCTET_STREAM)
+                                    .retrieve()
+                                    .bodyToMono(byte[].class)
+                                    .doOnNext(body -> {
+                                        metrics.poll(body.length, System.nanoTime() - requested);
+                                        recordFreshness(body, newestSeen, metrics.getPollLatency(), metrics);
+                                    });
+                   })
+                   .onErrorResume(e -> {
+                       metrics.error(e);
+                       return Mono.empty();
+                   }), 1)
+                   .then();
+    }
+
+    //latency runs from the poller caching a fleet generation to a client first receiving it; the first
+    //payload a client sees is skipped as it was cached before the client connected
+    private void recordFreshness(byte[] payload, AtomicLong newestSeen, LatencyRecorder recorder, LoadMetrics metrics) {
+        long received = System.nanoTime();
+        long newest;
+        try {
+            newest = VehicleLocationList.parseFrom(payload)
+                                        .getVehiclesList()
+                                        .stream()
+                                        .mapToLong(VehicleLocation::getTimestamp)
+                                        .max()
+                                        .orElse(0);
+        } catch (InvalidProtocolBufferException e) {
+            metrics.error(e);
+            return;
+        }
+
+        long previous = newestSeen.getAndAccumulate(newest, Math::max);
+        if (previous == 0 || newest <= previous) {
+            return;
+        }
+        OptionalLong cachedAt = cache.cachedAt(newest);
+        if (cachedAt.isPresent()) {
+            recorder.record(received - cachedAt.getAsLong());
+        }
+    }
+
+    //the type keeps the line endpoints' suffix matching to exactly one line
+    private String lineUri(int i, String suffix) {
+        String line = lines.get(i % lines.size());
+        return "/api/lines/" + line + suffix + "?type=" + lineTypes.get(line);
+    }
+
+    private static Duration rampUpOffset(int i, int clients) {
+        return RAMP_UP.multipliedBy(i).dividedBy(Math.max(1, clients));
+    }
+
+    private static Duration duration(String property, String defaultValue) {
+        return Duration.parse(System.getProperty(property, defaultValue));
+    }
+}
@@ -1,11 +1,30 @@
 package dev.stephenpearson.ztm_tracker_api_service;
 
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import dev.stephenpearson.ztm_tracker_api_service.support.RedisStandIn;
 
 @SpringBootTest
+@DirtiesContext
 class ZtmApiApplicationTests {
 
+	private static final RedisStandIn redis = RedisStandIn.start();
+
+	@DynamicPropertySource
+	static void redisProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.data.redis.url", redis::getUrl);
+	}
+
+	@AfterAll
+	static void stopRedis() {
+		redis.close();
+	}
+
 	@Test
 	void contextLoads() {
 	}
@@ -0,0 +1,15 @@
+package dev.stephenpearson.ztm_tracker_api_service.support;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+@TestConfiguration
+public class HarnessConfig {
+
+    @Bean
+    @Primary
+    public RecordingVehicleCache recordingVehicleCache() {
+        return new RecordingVehicleCache();
+    }
+}
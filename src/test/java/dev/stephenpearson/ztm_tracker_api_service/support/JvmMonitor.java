@@ -0,0 +1,73 @@
+package dev.stephenpearson.ztm_tracker_api_service.support;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Samples heap usage and GC activity of the current JVM. Server and load clients share the JVM,
+ * so the figures cover both.
+ */
+public class JvmMonitor implements AutoCloseable {
+
+    private static final long MB = 1_048_576;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final Map<String, long[]> gcBaseline = new LinkedHashMap<>();
+    private final AtomicLong peakHeapUsed = new AtomicLong();
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "jvm-monitor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private JvmMonitor() {
+        for (GarbageCollectorMXBean gc : collectors) {
+            gcBaseline.put(gc.getName(), new long[] { gc.getCollectionCount(), gc.getCollectionTime() });
+        }
+    }
+
+    public static JvmMonitor start(Duration sampleInterval) {
+        JvmMonitor monitor = new JvmMonitor();
+        monitor.sampler.scheduleAtFixedRate(monitor::sample, 0, sampleInterval.toMillis(), TimeUnit.MILLISECONDS);
+        return monitor;
+    }
+
+    private void sample() {
+        peakHeapUsed.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+    }
+
+    public String summary() {
+        sample();
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("  heap               used=%dMB peak=%dMB committed=%dMB max=%dMB",
+                                heap.getUsed() / MB, peakHeapUsed.get() / MB,
+                                heap.getCommitted() / MB, heap.getMax() / MB));
+
+        for (GarbageCollectorMXBean gc : collectors) {
+            long[] baseline = gcBaseline.getOrDefault(gc.getName(), new long[2]);
+            lines.add(String.format("  gc %-15s %d collections, %dms",
+                                    gc.getName(),
+                                    gc.getCollectionCount() - baseline[0],
+                                    gc.getCollectionTime() - baseline[1]));
+        }
+        return String.join(System.lineSeparator(), lines);
+    }
+
+    @Override
+    public void close() {
+        sampler.shutdownNow();
+    }
+}
@@ -0,0 +1,43 @@
+package dev.stephenpearson.ztm_tracker_api_service.support;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+public class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int size;
+
+    public synchronized void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    public synchronized Summary summary() {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        return new Summary(sorted.length,
+                           percentile(sorted, 0.50),
+                           percentile(sorted, 0.99),
+                           sorted.length == 0 ? Duration.ZERO : Duration.ofNanos(sorted[sorted.length - 1]));
+    }
+
+    private static Duration percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return Duration.ZERO;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return Duration.ofNanos(sorted[Math.max(0, index)]);
+    }
+
+    public record Summary(int count, Duration p50, Duration p99, Duration max) {
+
+        @Override
+        public String toString() {
+            return String.format("n=%d p50=%dms p99=%dms max=%dms",
+                                 count, p50.toMillis(), p99.toMillis(), max.toMillis());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package dev.stephenpearson.ztm_tracker_api_service.support;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LoadMetrics {
+
+    private final LongAdder sseStreams = new LongAdder();
+    private final LongAdder sseEvents = new LongAdder();
+    private final LongAdder sseWarnings = new LongAdder();
+    private final LongAdder sseBytes = new LongAdder();
+    private final LongAdder polls = new LongAdder();
+    private final LongAdder pollBytes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicReference<Throwable> firstError = new AtomicReference<>();
+
+    private final LatencyRecorder sseLatency = new LatencyRecorder();
+    private final LatencyRecorder pollLatency = new LatencyRecorder();
+    private final LatencyRecorder pollResponseTime = new LatencyRecorder();
+
+    public void sseStreamOpened() {
+        sseStreams.increment();
+    }
+
+    public void sseEvent(int bytes) {
+        sseEvents.increment();
+        sseBytes.add(bytes);
+    }
+
+    public void sseWarning() {
+        sseWarnings.increment();
+    }
+
+    public void poll(int bytes, long responseNanos) {
+        polls.increment();
+        pollBytes.add(bytes);
+        pollResponseTime.record(responseNanos);
+    }
+
+    public void error(Throwable e) {
+        errors.increment();
+        firstError.compareAndSet(null, e);
+    }
+
+    public LatencyRecorder getSseLatency() {
+        return sseLatency;
+    }
+
+    public LatencyRecorder getPollLatency() {
+        return pollLatency;
+    }
+
+    public long getSseEvents() {
+        return sseEvents.sum();
+    }
+
+    public long getPolls() {
+        return polls.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public Throwable getFirstError() {
+        return firstError.get();
+    }
+
+    public String summary(Duration elapsed) {
+        double seconds = elapsed.toMillis() / 1000.0;
+        return String.join(System.lineSeparator(),
+                String.format("  elapsed            %.1fs", seconds),
+                String.format("  sse streams        %d opened, %d warnings", sseStreams.sum(), sseWarnings.sum()),
+                String.format("  sse events         %d (%.1f/s, %.2f MB/s)",
+                              sseEvents.sum(), sseEvents.sum() / seconds, sseBytes.sum() / seconds / 1_048_576),
+                String.format("  polls              %d (%.1f/s, %.2f MB/s)",
+                              polls.sum(), polls.sum() / seconds, pollBytes.sum() / seconds / 1_048_576),
+                String.format("  errors             %d", errors.sum()),
+                "  sse latency        " + sseLatency.summary(),
+                "  poll latency       " + pollLatency.summary(),
+                "  poll response time " + pollResponseTime.summary());
+    }
+}
@@ -0,0 +1,40 @@
+package dev.stephenpearson.ztm_tracker_api_service.support;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import dev.stephenpearson.ztm_api.protobuf.VehicleLocationOuterClass.VehicleLocation;
+import dev.stephenpearson.ztm_tracker_api_service.cache.VehicleCache;
+
+/**
+ * {@link VehicleCache} that remembers when each fleet timestamp first became visible to the
+ * controllers, so clients can measure poll-to-client latency against {@link System#nanoTime()}.
+ */
+public class RecordingVehicleCache extends VehicleCache {
+
+    private final Map<Long, Long> firstCachedAt = new ConcurrentHashMap<>();
+    private final AtomicInteger updates = new AtomicInteger();
+
+    @Override
+    public void update(List<VehicleLocation> all) {
+        super.update(all);
+
+        long cachedAt = System.nanoTime();
+        for (VehicleLocation v : all) {
+            firstCachedAt.putIfAbsent(v.getTimestamp(), cachedAt);
+        }
+        updates.incrementAndGet();
+    }
+
+    public OptionalLong cachedAt(long timestamp) {
+        Long cachedAt = firstCachedAt.get(timestamp);
+        return cachedAt == null ? OptionalLong.empty() : OptionalLong.of(cachedAt);
+    }
+
+    public int getUpdateCount() {
+        return updates.get();
+    }
+}
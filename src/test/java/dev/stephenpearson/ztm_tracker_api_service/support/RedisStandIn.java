@@ -0,0 +1,290 @@
+package dev.stephenpearson.ztm_tracker_api_service.support;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-process Redis stand-in speaking just enough RESP2 for the Lettuce connection used by
+ * {@code VehiclePoller} (PING, SCAN, MGET, GET, SET, DEL). Tests seed it directly via {@link #set}.
+ */
+public class RedisStandIn implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(RedisStandIn.class);
+
+    private static final byte[] CRLF = { '\r', '\n' };
+
+    private final ConcurrentNavigableMap<String, byte[]> store = new ConcurrentSkipListMap<>();
+    private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+    private final AtomicLong commands = new AtomicLong();
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor;
+    private volatile boolean closed;
+
+    private RedisStandIn(ServerSocket serverSocket) {
+        AtomicInteger threads = new AtomicInteger();
+        this.serverSocket = serverSocket;
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "redis-stand-in-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public static RedisStandIn start() {
+        try {
+            ServerSocket socket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            RedisStandIn redis = new RedisStandIn(socket);
+            redis.executor.execute(redis::acceptLoop);
+            log.info("Redis stand-in listening on {}", redis.getUrl());
+            return redis;
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to start the redis stand-in", e);
+        }
+    }
+
+    public String getUrl() {
+        return "redis://" + serverSocket.getInetAddress().getHostAddress() + ":" + serverSocket.getLocalPort();
+    }
+
+    public void set(String key, byte[] value) {
+        store.put(key, value);
+    }
+
+    public long getCommandCount() {
+        return commands.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            log.debug("Failed to close redis stand-in socket", e);
+        }
+        for (Socket client : clients) {
+            try {
+                client.close();
+            } catch (IOException e) {
+                log.debug("Failed to close redis stand-in client", e);
+            }
+        }
+        executor.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket client = serverSocket.accept();
+                client.setTcpNoDelay(true);
+                clients.add(client);
+                executor.execute(() -> serve(client));
+            } catch (IOException e) {
+                if (!closed) {
+                    log.error("Redis stand-in failed to accept a connection", e);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket client) {
+        try (client;
+             InputStream in = new BufferedInputStream(client.getInputStream());
+             OutputStream out = new BufferedOutputStream(client.getOutputStream())) {
+
+            List<byte[]> command;
+            while ((command = readCommand(in)) != null) {
+                commands.incrementAndGet();
+                dispatch(command, out);
+                //lettuce pipelines - only flush once the pending commands are drained
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                log.debug("Redis stand-in connection dropped", e);
+            }
+        } finally {
+            clients.remove(client);
+        }
+    }
+
+    private void dispatch(List<byte[]> command, OutputStream out) throws IOException {
+        String name = utf8(command.get(0)).toUpperCase(Locale.ROOT);
+        try {
+            switch (name) {
+                case "PING" -> writeSimple(out, "PONG");
+                case "SELECT", "CLIENT", "QUIT" -> writeSimple(out, "OK");
+                case "GET" -> writeBulk(out, store.get(utf8(command.get(1))));
+                case "SET" -> {
+                    store.put(utf8(command.get(1)), command.get(2));
+                    writeSimple(out, "OK");
+                }
+                case "MGET" -> {
+                    writeArrayHeader(out, command.size() - 1);
+                    for (int i = 1; i < command.size(); i++) {
+                        writeBulk(out, store.get(utf8(command.get(i))));
+                    }
+                }
+                case "DEL" -> {
+                    long removed = command.stream()
+                                          .skip(1)
+                                          .filter(key -> store.remove(utf8(key)) != null)
+                                          .count();
+                    writeInteger(out, removed);
+                }
+                case "SCAN" -> scan(command, out);
+                //HELLO lands here too, which makes lettuce fall back to RESP2
+                default -> writeError(out, "ERR unknown command '" + name + "'");
+            }
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            writeError(out, "ERR wrong arguments for '" + name + "' command");
+        }
+    }
+
+    private void scan(List<byte[]> command, OutputStream out) throws IOException {
+        int offset = Integer.parseInt(utf8(command.get(1)));
+        Pattern match = null;
+        int count = 10;
+
+        for (int i = 2; i + 1 < command.size(); i += 2) {
+            String option = utf8(command.get(i)).toUpperCase(Locale.ROOT);
+            String value = utf8(command.get(i + 1));
+            switch (option) {
+                case "MATCH" -> match = globToRegex(value);
+                case "COUNT" -> count = Integer.parseInt(value);
+            }
+        }
+
+        //the cursor is just an offset into the sorted key set - good enough for a stable fleet
+        List<String> page = new ArrayList<>();
+        Iterator<String> keys = store.keySet().iterator();
+        int position = 0;
+        while (keys.hasNext() && position < offset + count) {
+            String key = keys.next();
+            if (position++ >= offset && (match == null || match.matcher(key).matches())) {
+                page.add(key);
+            }
+        }
+        int next = keys.hasNext() ? position : 0;
+
+        writeArrayHeader(out, 2);
+        writeBulk(out, String.valueOf(next).getBytes(StandardCharsets.US_ASCII));
+        writeArrayHeader(out, page.size());
+        for (String key : page) {
+            writeBulk(out, key.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static Pattern globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            switch (c) {
+                case '*' -> regex.append(".*");
+                case '?' -> regex.append('.');
+                default -> regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static List<byte[]> readCommand(InputStream in) throws IOException {
+        int type = in.read();
+        if (type == -1) {
+            return null;
+        }
+        if (type != '*') {
+            throw new IOException("expected a RESP array but got '" + (char) type + "'");
+        }
+
+        int size = Integer.parseInt(readLine(in));
+        List<byte[]> args = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (in.read() != '$') {
+                throw new IOException("expected a RESP bulk string");
+            }
+            int length = Integer.parseInt(readLine(in));
+            byte[] arg = in.readNBytes(length);
+            if (arg.length != length) {
+                throw new EOFException("connection closed mid-command");
+            }
+            readLine(in);
+            args.add(arg);
+        }
+        return args;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\r') {
+            if (c == -1) {
+                throw new EOFException("connection closed mid-line");
+            }
+            line.append((char) c);
+        }
+        in.read();
+        return line.toString();
+    }
+
+    private static void writeSimple(OutputStream out, String value) throws IOException {
+        out.write(('+' + value).getBytes(StandardCharsets.US_ASCII));
+        out.write(CRLF);
+    }
+
+    private static void writeError(OutputStream out, String message) throws IOException {
+        out.write(('-' + message).getBytes(StandardCharsets.UTF_8));
+        out.write(CRLF);
+    }
+
+    private static void writeInteger(OutputStream out, long value) throws IOException {
+        out.write((":" + value).getBytes(StandardCharsets.US_ASCII));
+        out.write(CRLF);
+    }
+
+    private static void writeArrayHeader(OutputStream out, int size) throws IOException {
+        out.write(("*" + size).getBytes(StandardCharsets.US_ASCII));
+        out.write(CRLF);
+    }
+
+    private static void writeBulk(OutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            out.write("$-1".getBytes(StandardCharsets.US_ASCII));
+            out.write(CRLF);
+            return;
+        }
+        out.write(("$" + value.length).getBytes(StandardCharsets.US_ASCII));
+        out.write(CRLF);
+        out.write(value);
+        out.write(CRLF);
+    }
+
+    private static String utf8(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
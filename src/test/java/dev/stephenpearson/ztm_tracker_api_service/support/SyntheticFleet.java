@@ -0,0 +1,176 @@
+package dev.stephenpearson.ztm_tracker_api_service.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import dev.stephenpearson.ztm_api.protobuf.VehicleLocationOuterClass.VehicleLocation;
+
+/**
+ * Generates a fleet of buses and trams wandering around central Warsaw and writes them to a
+ * {@link RedisStandIn} as {@code ztm:buses:*} / {@code ztm:trams:*} protobuf keys. Every tick stamps
+ * all vehicles with the same timestamp, so that timestamp identifies the fleet generation a client saw.
+ */
+public class SyntheticFleet implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(SyntheticFleet.class);
+
+    private static final double CENTRE_LAT = 52.2297;
+    private static final double CENTRE_LON = 21.0122;
+    private static final double MAX_OFFSET_DEG = 0.12;
+    private static final double METRES_PER_DEG_LAT = 111_320;
+    private static final int VEHICLES_PER_LINE = 15;
+
+    private final RedisStandIn redis;
+    private final List<Vehicle> vehicles = new ArrayList<>();
+    private final List<String> busLines = new ArrayList<>();
+    private final List<String> tramLines = new ArrayList<>();
+    private final Random random;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "synthetic-fleet");
+        t.setDaemon(true);
+        return t;
+    });
+    private long lastTimestamp;
+
+    public SyntheticFleet(RedisStandIn redis, int buses, int trams, long seed) {
+        this.redis = redis;
+        this.random = new Random(seed);
+
+        //VehicleService matches lines by suffix, so bus lines stay three digits and tram lines get a
+        //letter prefix - queried with the matching type, each name only ever matches its own line
+        int busLineCount = Math.max(1, buses / VEHICLES_PER_LINE);
+        if (busLineCount > 900) {
+            throw new IllegalArgumentException("at most 900 bus lines fit in 100-999, got " + busLineCount);
+        }
+        for (int i = 0; i < busLineCount; i++) {
+            busLines.add(String.valueOf(100 + i));
+        }
+        for (int i = 0; i < Math.max(1, trams / VEHICLES_PER_LINE); i++) {
+            tramLines.add("T" + (1 + i));
+        }
+        for (int i = 0; i < buses; i++) {
+            vehicles.add(new Vehicle("buses", busLines.get(i % busLines.size()), 1000 + i, i / busLines.size() + 1));
+        }
+        for (int i = 0; i < trams; i++) {
+            vehicles.add(new Vehicle("trams", tramLines.get(i % tramLines.size()), 3000 + i, i / tramLines.size() + 1));
+        }
+    }
+
+    public void start(Duration interval) {
+        tick();
+        ticker.scheduleAtFixedRate(this::tick, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    //moves every vehicle once and returns the timestamp stamped on this generation
+    public synchronized long tick() {
+        long timestamp = Math.max(System.currentTimeMillis(), lastTimestamp + 1);
+        try {
+            for (Vehicle vehicle : vehicles) {
+                vehicle.advance(timestamp);
+                redis.set(vehicle.key(), vehicle.toProto().toByteArray());
+            }
+            lastTimestamp = timestamp;
+        } catch (RuntimeException e) {
+            log.error("Synthetic fleet tick failed", e);
+        }
+        return timestamp;
+    }
+
+    public List<String> getBusLines() {
+        return List.copyOf(busLines);
+    }
+
+    public List<String> getTramLines() {
+        return List.copyOf(tramLines);
+    }
+
+    public int size() {
+        return vehicles.size();
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+
+    private final class Vehicle {
+        private final String type;
+        private final String line;
+        private final String vehicleNumber;
+        private final String brigade;
+        private final double speed;
+        private double lat;
+        private double lon;
+        private double heading;
+        private double prevLat;
+        private double prevLon;
+        private long timestamp;
+        private long prevTimestamp;
+
+        Vehicle(String type, String line, int vehicleNumber, int brigade) {
+            this.type = type;
+            this.line = line;
+            this.vehicleNumber = String.valueOf(vehicleNumber);
+            this.brigade = String.valueOf(brigade);
+            //roughly 15-45 km/h
+            this.speed = 4 + random.nextDouble() * 8;
+            this.lat = CENTRE_LAT + (random.nextDouble() * 2 - 1) * MAX_OFFSET_DEG;
+            this.lon = CENTRE_LON + (random.nextDouble() * 2 - 1) * MAX_OFFSET_DEG;
+            this.heading = random.nextDouble() * 360;
+        }
+
+        String key() {
+            return "ztm:" + type + ":" + vehicleNumber;
+        }
+
+        void advance(long now) {
+            prevLat = lat;
+            prevLon = lon;
+            prevTimestamp = timestamp;
+
+            if (timestamp != 0) {
+                double metres = speed * (now - timestamp) / 1000.0;
+                heading = (heading + random.nextGaussian() * 15 + 360) % 360;
+
+                //turn back towards the centre once a vehicle drifts out of town
+                if (Math.abs(lat - CENTRE_LAT) > MAX_OFFSET_DEG || Math.abs(lon - CENTRE_LON) > MAX_OFFSET_DEG) {
+                    heading = (Math.toDegrees(Math.atan2(CENTRE_LON - lon, CENTRE_LAT - lat)) + 360) % 360;
+                }
+
+                double radians = Math.toRadians(heading);
+                lat += metres * Math.cos(radians) / METRES_PER_DEG_LAT;
+                lon += metres * Math.sin(radians) / (METRES_PER_DEG_LAT * Math.cos(Math.toRadians(lat)));
+            }
+            timestamp = now;
+        }
+
+        VehicleLocation toProto() {
+            VehicleLocation.Builder builder = VehicleLocation.newBuilder()
+                    .setVehicleNumber(vehicleNumber)
+                    .setLine(line)
+                    .setBrigade(brigade)
+                    .setLat(lat)
+                    .setLon(lon)
+                    .setTimestamp(timestamp)
+                    .setHeading(heading)
+                    .addVector(lat - prevLat)
+                    .addVector(lon - prevLon)
+                    .setType(type);
+
+            if (prevTimestamp != 0) {
+                builder.setPrevPosition(VehicleLocation.PreviousPosition.newBuilder()
+                        .setLat(prevLat)
+                        .setLon(prevLon)
+                        .setTimestamp(prevTimestamp));
+            }
+            return builder.build();
+        }
+    }
+}